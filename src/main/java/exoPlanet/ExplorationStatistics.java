@@ -0,0 +1,218 @@
+package exoPlanet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+// Wird nur vom Thread des Roboters benutzt; auch "stats"-Befehle während
+// explorePlanet beantwortet dieser Thread zwischen zwei Erkundungsschritten.
+public class ExplorationStatistics {
+
+	static final int MAX_TIMELINE_SAMPLES = 64;
+
+	private long startTimeMillis;
+	private long endTimeMillis;
+	private boolean running;
+
+	private final Map<String, Integer> commandCounts = new TreeMap<>();
+	private int moves;
+	private int backtrackMoves;
+	private int rotations;
+	private int scans;
+	private int redundantScans;
+
+	private int knownFields;
+	private int discoveredFields;
+	// Jede n-te Entdeckung wird gespeichert; n verdoppelt sich, sobald die Liste voll ist
+	private int discoveriesPerSample = 1;
+	private final List<long[]> discoveryTimeline = new ArrayList<>();
+
+	// Ein blockierter Roboter wartet nicht, sondern gibt das Feld auf
+	private int blockedEvents;
+	private int fieldsGivenUpWhileBlocked;
+
+	public void start(int initiallyKnownFields) {
+		startTimeMillis = System.currentTimeMillis();
+		endTimeMillis = 0;
+		running = true;
+
+		commandCounts.clear();
+		moves = 0;
+		backtrackMoves = 0;
+		rotations = 0;
+		scans = 0;
+		redundantScans = 0;
+
+		knownFields = initiallyKnownFields;
+		discoveredFields = 0;
+		discoveriesPerSample = 1;
+		discoveryTimeline.clear();
+		discoveryTimeline.add(new long[] { 0, knownFields });
+
+		blockedEvents = 0;
+		fieldsGivenUpWhileBlocked = 0;
+	}
+
+	public void finish() {
+		if (!running) {
+			return;
+		}
+		endTimeMillis = System.currentTimeMillis();
+		running = false;
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	public void recordCommand(String commandType) {
+		if (running) {
+			commandCounts.merge(commandType, 1, Integer::sum);
+		}
+	}
+
+	public void recordRotation() {
+		if (running) {
+			rotations++;
+		}
+	}
+
+	public void recordMove(boolean backtrack) {
+		if (!running) {
+			return;
+		}
+		moves++;
+		if (backtrack) {
+			backtrackMoves++;
+		}
+	}
+
+	public void recordScan(boolean alreadyKnown) {
+		if (!running) {
+			return;
+		}
+		scans++;
+		if (alreadyKnown) {
+			redundantScans++;
+			return;
+		}
+		knownFields++;
+		discoveredFields++;
+		if (discoveredFields % discoveriesPerSample == 0) {
+			discoveryTimeline.add(new long[] { System.currentTimeMillis() - startTimeMillis, knownFields });
+			if (discoveryTimeline.size() > MAX_TIMELINE_SAMPLES) {
+				thinOutTimeline();
+			}
+		}
+	}
+
+	private void thinOutTimeline() {
+		List<long[]> remaining = new ArrayList<>();
+		for (int i = 0; i < discoveryTimeline.size(); i += 2) {
+			remaining.add(discoveryTimeline.get(i));
+		}
+		discoveryTimeline.clear();
+		discoveryTimeline.addAll(remaining);
+		discoveriesPerSample *= 2;
+	}
+
+	public void recordBlocked() {
+		if (running) {
+			blockedEvents++;
+		}
+	}
+
+	public void recordFieldGivenUpWhileBlocked() {
+		if (running) {
+			fieldsGivenUpWhileBlocked++;
+		}
+	}
+
+	public int getCommandCount(String commandType) {
+		return commandCounts.getOrDefault(commandType, 0);
+	}
+
+	public int getMoves() {
+		return moves;
+	}
+
+	public double getRotationsPerMove() {
+		return moves == 0 ? 0.0 : (double) rotations / moves;
+	}
+
+	public double getBacktrackingRatio() {
+		return moves == 0 ? 0.0 : (double) backtrackMoves / moves;
+	}
+
+	public int getRedundantScans() {
+		return redundantScans;
+	}
+
+	public int getKnownFields() {
+		return knownFields;
+	}
+
+	public int getBlockedEvents() {
+		return blockedEvents;
+	}
+
+	public int getFieldsGivenUpWhileBlocked() {
+		return fieldsGivenUpWhileBlocked;
+	}
+
+	public long getElapsedMillis() {
+		return (running ? System.currentTimeMillis() : endTimeMillis) - startTimeMillis;
+	}
+
+	public List<long[]> getDiscoveryTimeline() {
+		List<long[]> timeline = new ArrayList<>(discoveryTimeline);
+		if (timeline.isEmpty()) {
+			return timeline;
+		}
+		long[] last = timeline.get(timeline.size() - 1);
+		if (last[1] != knownFields) {
+			timeline.add(new long[] { getElapsedMillis(), knownFields });
+		}
+		return timeline;
+	}
+
+	public JSONObject toJson() {
+		JSONObject report = new JSONObject();
+		report.put("RUNNING", running);
+		report.put("ELAPSED_MS", getElapsedMillis());
+		report.put("COMMANDS", new JSONObject(commandCounts));
+		report.put("MOVES", moves);
+		report.put("BACKTRACK_MOVES", backtrackMoves);
+		report.put("ROTATIONS", rotations);
+		report.put("ROTATIONS_PER_MOVE", getRotationsPerMove());
+		report.put("BACKTRACKING_RATIO", getBacktrackingRatio());
+		report.put("SCANS", scans);
+		report.put("REDUNDANT_SCANS", redundantScans);
+		report.put("KNOWN_FIELDS", knownFields);
+
+		JSONArray timeline = new JSONArray();
+		for (long[] sample : getDiscoveryTimeline()) {
+			JSONObject point = new JSONObject();
+			point.put("MS", sample[0]);
+			point.put("FIELDS", sample[1]);
+			timeline.put(point);
+		}
+		report.put("DISCOVERY_TIMELINE", timeline);
+
+		report.put("BLOCKED_EVENTS", blockedEvents);
+		report.put("FIELDS_GIVEN_UP_BLOCKED", fieldsGivenUpWhileBlocked);
+		return report;
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"moves=%d (backtracking %.2f), rotations/move=%.2f, scans=%d (redundant %d), known fields=%d, blocked %d times (%d fields given up), %d ms total",
+				moves, getBacktrackingRatio(), getRotationsPerMove(), scans, redundantScans, knownFields, blockedEvents,
+				fieldsGivenUpWhileBlocked, getElapsedMillis());
+	}
+}
@@ -0,0 +1,90 @@
+package exoPlanet;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class FleetLandingPlanner {
+
+	private final int robotCount;
+	private int nextSlot;
+	private List<LandingSite> landingSites;
+
+	public FleetLandingPlanner(int robotCount) {
+		this.robotCount = robotCount;
+	}
+
+	public synchronized LandingSite claimLandingSite(int planetWidth, int planetHeight) {
+		if (landingSites == null) {
+			landingSites = computeLandingSites(planetWidth, planetHeight, robotCount);
+		}
+		if (landingSites.isEmpty()) {
+			return null;
+		}
+		// Mehr Roboter als geplant: wieder von vorne verteilen
+		return landingSites.get(nextSlot++ % landingSites.size());
+	}
+
+	// Teilt den Planeten in möglichst quadratische Rechtecke (je eins pro Roboter)
+	// und landet jeden Roboter im Mittelpunkt seines Rechtecks. Die Voronoi-Zellen
+	// der Landepunkte entsprechen damit ungefähr diesen Rechtecken.
+	public static List<LandingSite> computeLandingSites(int planetWidth, int planetHeight, int robotCount) {
+		List<LandingSite> sites = new ArrayList<>();
+		if (robotCount <= 0 || planetWidth <= 0 || planetHeight <= 0) {
+			return sites;
+		}
+
+		int columns = (int) Math.ceil(Math.sqrt((double) robotCount * planetWidth / planetHeight));
+		columns = Math.max(1, Math.min(columns, robotCount));
+		int rows = (int) Math.ceil((double) robotCount / columns);
+
+		int remaining = robotCount;
+		for (int row = 0; row < rows; row++) {
+			int robotsInRow = (int) Math.ceil((double) remaining / (rows - row));
+			int y = (int) (((2L * row + 1) * planetHeight) / (2L * rows));
+
+			for (int column = 0; column < robotsInRow; column++) {
+				int x = (int) (((2L * column + 1) * planetWidth) / (2L * robotsInRow));
+				sites.add(new LandingSite(x, y, directionAwayFromCenter(x, y, planetWidth, planetHeight)));
+			}
+			remaining -= robotsInRow;
+		}
+		return sites;
+	}
+
+	// explorePlanet läuft zuerst in Blickrichtung; vom Planetenmittelpunkt weg
+	// bleibt der Roboter in seinem eigenen Rechteck statt auf die Nachbarn zuzulaufen
+	static Direction directionAwayFromCenter(int x, int y, int planetWidth, int planetHeight) {
+		double offsetX = (x - (planetWidth - 1) / 2.0) / planetWidth;
+		double offsetY = (y - (planetHeight - 1) / 2.0) / planetHeight;
+
+		if (offsetX == 0 && offsetY == 0) {
+			return Direction.NORTH;
+		}
+		if (Math.abs(offsetX) >= Math.abs(offsetY)) {
+			return offsetX > 0 ? Direction.EAST : Direction.WEST;
+		}
+		return offsetY > 0 ? Direction.SOUTH : Direction.NORTH;
+	}
+
+	// Landepunkt selbst zuerst, danach Ring für Ring die Nachbarfelder
+	public static List<LandingSite> nearbyLandingSites(LandingSite site, int planetWidth, int planetHeight, int maxAttempts) {
+		List<LandingSite> candidates = new ArrayList<>();
+		int maxRadius = Math.max(planetWidth, planetHeight);
+
+		for (int radius = 0; radius <= maxRadius && candidates.size() < maxAttempts; radius++) {
+			for (int dy = -radius; dy <= radius && candidates.size() < maxAttempts; dy++) {
+				for (int dx = -radius; dx <= radius && candidates.size() < maxAttempts; dx++) {
+					if (Math.max(Math.abs(dx), Math.abs(dy)) != radius) {
+						continue;
+					}
+					int x = site.getX() + dx;
+					int y = site.getY() + dy;
+					if (x >= 0 && x < planetWidth && y >= 0 && y < planetHeight) {
+						candidates.add(new LandingSite(x, y, site.getDirection()));
+					}
+				}
+			}
+		}
+		return candidates;
+	}
+}
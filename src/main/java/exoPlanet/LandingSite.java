@@ -0,0 +1,26 @@
+package exoPlanet;
+
+public class LandingSite {
+	private int x;
+	private int y;
+	private Direction direction;
+
+	public LandingSite(int x, int y, Direction direction) {
+		super();
+		this.x = x;
+		this.y = y;
+		this.direction = direction;
+	}
+
+	public int getX() {
+		return x;
+	}
+
+	public int getY() {
+		return y;
+	}
+
+	public Direction getDirection() {
+		return direction;
+	}
+}
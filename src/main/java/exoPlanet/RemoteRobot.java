@@ -34,6 +34,12 @@ public class RemoteRobot {
 
 	private boolean[][] visitedFields;
 	private boolean[][] dangerFields;
+	private TerrainMap terrainMap;
+	private boolean landed;
+
+	private static final int STATISTICS_REPORT_INTERVAL = 25;
+	private static final int MAX_LANDING_ATTEMPTS = 25;
+	private final ExplorationStatistics explorationStatistics = new ExplorationStatistics();
 
 	Socket groundStationSocket;
 	protected BufferedReader groundStationReader;
@@ -52,7 +58,7 @@ public class RemoteRobot {
 
 		System.out.println("Connected to ExoPlanet server.");
 		String orbitCommand = "{\"CMD\":\"orbit\",\"NAME\":\"" + robotName + "\"}";
-		String orbitResponse = sendJsonCommand(orbitCommand);
+		String orbitResponse = sendJsonCommand("orbit", orbitCommand);
 
 		if (orbitResponse != null && orbitResponse.contains("\"CMD\":\"init\"")) {
 
@@ -64,6 +70,7 @@ public class RemoteRobot {
 
 			visitedFields = new boolean[planetWidth][planetHeight];
 			dangerFields = new boolean[planetWidth][planetHeight];
+			terrainMap = new TerrainMap(planetWidth, planetHeight);
 		} else {
 			throw new IOException("Missing init response: " + orbitResponse);
 		}
@@ -72,7 +79,7 @@ public class RemoteRobot {
 	public void disconnectFromPlanet() {
 		try {
 			if (planetSocket != null && !planetSocket.isClosed()) {
-				sendJsonCommand("{\"CMD\":\"exit\"}");
+				sendJsonCommand("exit", "{\"CMD\":\"exit\"}");
 				planetSocket.close();
 				planetReader.close();
 				planetWriter.close();
@@ -98,7 +105,9 @@ public class RemoteRobot {
 		}
 	}
 
-	private String sendJsonCommand(String jsonCommand) throws IOException {
+	private String sendJsonCommand(String commandType, String jsonCommand) throws IOException {
+
+		explorationStatistics.recordCommand(commandType);
 
 		planetWriter.println(jsonCommand);
 		planetWriter.flush();
@@ -112,19 +121,20 @@ public class RemoteRobot {
 		return jsonResponse;
 	}
 
-	public void landOnPlanet(int x, int y, Direction direction) throws IOException {
+	public boolean landOnPlanet(int x, int y, Direction direction) throws IOException {
 		if (x < 0 || x >= planetWidth || y < 0 || y >= planetHeight) {
 			throw new IOException("Invalid landing position outside planet bounds!");
 		}
 		String landCommand = String.format("{\"CMD\":\"land\",\"POSITION\":{\"X\":%d,\"Y\":%d,\"DIRECTION\":\"%s\"}}",
 				x, y, direction.name());
-		String landResponse = sendJsonCommand(landCommand);
+		String landResponse = sendJsonCommand("land", landCommand);
 
 		if (landResponse != null && landResponse.contains("\"CMD\":\"landed\"")) {
 			currentRobotPositionX = x;
 			currentRobotPositionY = y;
 			currentRobotDirection = direction;
 			visitedFields[x][y] = true;
+			landed = true;
 			System.out.println("Landed on (" + x + "," + y + ") facing " + direction);
 
 			JSONObject jsonResponse = new JSONObject(landResponse);
@@ -132,6 +142,7 @@ public class RemoteRobot {
 			if (measure != null) {
 				String ground = measure.optString("GROUND", "unknown");
 				double temperature = measure.optDouble("TEMP", -999.0);
+				recordMeasurement(x, y, measure);
 
 				JSONObject data = new JSONObject();
 				data.put("CMD", "data");
@@ -146,56 +157,208 @@ public class RemoteRobot {
 			} else {
 				throw new IOException("No measurement: " + landResponse);
 			}
+			return true;
 		}
+		return false;
 	}
 
-	public void explorePlanet() throws IOException {
-		Stack<Point> pathStack = new Stack<>();
-		pathStack.push(new Point(currentRobotPositionX, currentRobotPositionY));
-
-		while (!pathStack.isEmpty()) {
-			Point stackTopPoint = pathStack.peek();
-			int currentX = stackTopPoint.x;
-			int currentY = stackTopPoint.y;
+	public boolean landWithFleetPlanner(FleetLandingPlanner fleetLandingPlanner) throws IOException {
+		LandingSite plannedSite = fleetLandingPlanner.claimLandingSite(planetWidth, planetHeight);
+		if (plannedSite == null) {
+			System.out.println("No landing site available for " + robotName);
+			return false;
+		}
 
-			Point nextSafeNeighbor = findUnvisitedSafeNeighbor(currentX, currentY);
+		for (LandingSite site : FleetLandingPlanner.nearbyLandingSites(plannedSite, planetWidth, planetHeight,
+				MAX_LANDING_ATTEMPTS)) {
+			if (landOnPlanet(site.getX(), site.getY(), site.getDirection())) {
+				JSONObject landedUpdate = new JSONObject();
+				landedUpdate.put("CMD", "landed");
+				landedUpdate.put("X", currentRobotPositionX);
+				landedUpdate.put("Y", currentRobotPositionY);
+				landedUpdate.put("DIRECTION", currentRobotDirection);
+				sendToGroundStation(landedUpdate.toString());
+				return true;
+			}
+			System.out.println("Landing on (" + site.getX() + "," + site.getY() + ") failed, trying nearby field");
+		}
+		System.out.println("Robot " + robotName + " could not land near (" + plannedSite.getX() + ","
+				+ plannedSite.getY() + ")");
+		return false;
+	}
 
-			if (nextSafeNeighbor != null) {
+	public void explorePlanet() throws IOException {
+		explorationStatistics.start(countKnownFields());
 
-				if (moveTo(nextSafeNeighbor.x, nextSafeNeighbor.y)) {
-					visitedFields[nextSafeNeighbor.x][nextSafeNeighbor.y] = true;
-					pathStack.push(nextSafeNeighbor);
+		try {
+			Stack<Point> pathStack = new Stack<>();
+			pathStack.push(new Point(currentRobotPositionX, currentRobotPositionY));
+
+			while (!pathStack.isEmpty()) {
+				serviceGroundStationCommands();
+
+				Point stackTopPoint = pathStack.peek();
+				int currentX = stackTopPoint.x;
+				int currentY = stackTopPoint.y;
+
+				Point nextSafeNeighbor = findUnvisitedSafeNeighbor(currentX, currentY);
+
+				if (nextSafeNeighbor != null) {
+
+					if (moveTo(nextSafeNeighbor.x, nextSafeNeighbor.y)) {
+						visitedFields[nextSafeNeighbor.x][nextSafeNeighbor.y] = true;
+						pathStack.push(nextSafeNeighbor);
+						recordExplorationMove(false);
+					} else {
+						if (isOccupiedPosition(nextSafeNeighbor.x, nextSafeNeighbor.y)) {
+							explorationStatistics.recordFieldGivenUpWhileBlocked();
+						}
+						dangerFields[nextSafeNeighbor.x][nextSafeNeighbor.y] = true;
+					}
 				} else {
-					dangerFields[nextSafeNeighbor.x][nextSafeNeighbor.y] = true;
-				}
-			} else {
 
-				pathStack.pop();
-				if (!pathStack.isEmpty()) {
-					Point previousPoint = pathStack.peek();
-					moveTo(previousPoint.x, previousPoint.y);
+					pathStack.pop();
+					if (!pathStack.isEmpty()) {
+						Point previousPoint = pathStack.peek();
+						if (moveTo(previousPoint.x, previousPoint.y)) {
+							recordExplorationMove(true);
+						}
+					}
 				}
 			}
+			System.out.println("Exploration finished - no crash, all reachable fields visited!");
+		} finally {
+			explorationStatistics.finish();
+			System.out.println("Exploration statistics: " + explorationStatistics);
+			sendStatisticsReport();
 		}
-		System.out.println("Exploration finished - no crash, all reachable fields visited!");
 	}
 
-	private Point findUnvisitedSafeNeighbor(int x, int y) {
-		// Norden
-		if (y > 0 && !visitedFields[x][y - 1] && !dangerFields[x][y - 1]) {
-			return new Point(x, y - 1);
+	// Wird zwischen zwei Erkundungsschritten aufgerufen, damit Befehle der
+	// Bodenstation nicht erst nach dem Ende von explorePlanet gelesen werden
+	protected void serviceGroundStationCommands() {
+	}
+
+	private void recordExplorationMove(boolean backtrack) {
+		explorationStatistics.recordMove(backtrack);
+		if (explorationStatistics.getMoves() % STATISTICS_REPORT_INTERVAL == 0) {
+			sendStatisticsReport();
+		}
+	}
+
+	protected void sendStatisticsReport() {
+		JSONObject report = explorationStatistics.toJson();
+		report.put("CMD", "stats");
+		report.put("NAME", robotName);
+		sendToGroundStation(report.toString());
+	}
+
+	// Fehlende Werte werden nicht gespeichert, damit "unknown" und -999 keine Abfrage verfälschen
+	private void recordMeasurement(int x, int y, JSONObject measure) {
+		terrainMap.markExplored(x, y);
+		if (measure.has("GROUND")) {
+			String ground = measure.getString("GROUND");
+			terrainMap.recordGround(x, y, ground, isDangerous(ground));
+		}
+		if (measure.has("TEMP")) {
+			terrainMap.recordTemperature(x, y, measure.getDouble("TEMP"));
+		}
+	}
+
+	// Vor der Landung gibt es keine Position und keine Messwerte
+	private boolean rejectQueryIfNotLanded(String query) {
+		if (landed) {
+			return false;
 		}
-		// Osten
-		if (x < planetWidth - 1 && !visitedFields[x + 1][y] && !dangerFields[x + 1][y]) {
-			return new Point(x + 1, y);
+		JSONObject error = new JSONObject();
+		error.put("CMD", query);
+		error.put("ERROR", "not landed");
+		sendToGroundStation(error.toString());
+		return true;
+	}
+
+	protected void answerNearestUnexploredQuery() {
+		if (rejectQueryIfNotLanded("nearestunexplored")) {
+			return;
+		}
+		Point nearest = terrainMap.findNearestUnexplored(currentRobotPositionX, currentRobotPositionY);
+		sendQueryResult("nearestunexplored", nearest);
+	}
+
+	protected void answerNearestGroundQuery(String groundType) {
+		if (rejectQueryIfNotLanded("nearestground")) {
+			return;
 		}
-		// Süden
-		if (y < planetHeight - 1 && !visitedFields[x][y + 1] && !dangerFields[x][y + 1]) {
-			return new Point(x, y + 1);
+		Point nearest = isDangerous(groundType) ? null
+				: terrainMap.findNearestSafeGround(currentRobotPositionX, currentRobotPositionY, groundType);
+		sendQueryResult("nearestground", nearest);
+	}
+
+	private void sendQueryResult(String query, Point position) {
+		JSONObject result = new JSONObject();
+		result.put("CMD", query);
+		result.put("FOUND", position != null);
+		if (position != null) {
+			result.put("X", position.x);
+			result.put("Y", position.y);
 		}
-		// Westen
-		if (x > 0 && !visitedFields[x - 1][y] && !dangerFields[x - 1][y]) {
-			return new Point(x - 1, y);
+		sendToGroundStation(result.toString());
+	}
+
+	protected void answerTemperatureQuery(int x1, int y1, int x2, int y2) {
+		if (rejectQueryIfNotLanded("temperature")) {
+			return;
+		}
+		TemperatureSummary summary = terrainMap.summarizeTemperature(x1, y1, x2, y2);
+
+		JSONObject result = new JSONObject();
+		result.put("CMD", "temperature");
+		result.put("COUNT", summary.getMeasuredFields());
+		if (summary.getMeasuredFields() > 0) {
+			result.put("MIN", summary.getMin());
+			result.put("MAX", summary.getMax());
+			result.put("MEAN", summary.getMean());
+		}
+		sendToGroundStation(result.toString());
+	}
+
+	private int countKnownFields() {
+		int known = 0;
+		for (int x = 0; x < planetWidth; x++) {
+			for (int y = 0; y < planetHeight; y++) {
+				if (visitedFields[x][y] || dangerFields[x][y]) {
+					known++;
+				}
+			}
+		}
+		return known;
+	}
+
+	private Point findUnvisitedSafeNeighbor(int x, int y) {
+		// Zuerst in Blickrichtung, danach im Uhrzeigersinn - so behält der Roboter
+		// die Richtung, in der er gelandet ist, und spart Drehungen
+		Direction[] directions = Direction.values();
+		int firstDirection = currentRobotDirection == null ? 0 : currentRobotDirection.ordinal();
+
+		for (int i = 0; i < directions.length; i++) {
+			Point neighbor = getNeighbor(x, y, directions[(firstDirection + i) % directions.length]);
+			if (neighbor != null && !visitedFields[neighbor.x][neighbor.y] && !dangerFields[neighbor.x][neighbor.y]) {
+				return neighbor;
+			}
+		}
+		return null;
+	}
+
+	private Point getNeighbor(int x, int y, Direction direction) {
+		switch (direction) {
+		case NORTH:
+			return y > 0 ? new Point(x, y - 1) : null;
+		case EAST:
+			return x < planetWidth - 1 ? new Point(x + 1, y) : null;
+		case SOUTH:
+			return y < planetHeight - 1 ? new Point(x, y + 1) : null;
+		case WEST:
+			return x > 0 ? new Point(x - 1, y) : null;
 		}
 		return null;
 	}
@@ -228,6 +391,7 @@ public class RemoteRobot {
 
 		if (isOccupiedPosition(targetX, targetY)) {
 			System.out.println("Another robot ahead => do not move");
+			explorationStatistics.recordBlocked();
 			return false;
 		}
 
@@ -247,7 +411,7 @@ public class RemoteRobot {
 
 	protected String performScan() throws IOException {
 		String jsonCommand = "{\"CMD\":\"scan\"}";
-		String jsonResponse = sendJsonCommand(jsonCommand);
+		String jsonResponse = sendJsonCommand("scan", jsonCommand);
 
 		if (jsonResponse == null || !jsonResponse.contains("\"CMD\":\"scaned\"")) {
 			throw new IOException("Scan failed or no response");
@@ -263,10 +427,12 @@ public class RemoteRobot {
 				String ground = measure.optString("GROUND", "unknown");
 				double temperature = measure.optDouble("TEMP", -999.0);
 
+				explorationStatistics.recordScan(visitedFields[scannedX][scannedY] || dangerFields[scannedX][scannedY]);
 				visitedFields[scannedX][scannedY] = true;
 				if (isDangerous(ground)) {
 					dangerFields[scannedX][scannedY] = true;
 				}
+				recordMeasurement(scannedX, scannedY, measure);
 
 				JSONObject data = new JSONObject();
 				data.put("CMD", "data");
@@ -316,7 +482,7 @@ public class RemoteRobot {
 
 	protected String performMove() throws IOException {
 		String jsonCommand = "{\"CMD\":\"move\"}";
-		return sendJsonCommand(jsonCommand);
+		return sendJsonCommand("move", jsonCommand);
 	}
 
 	protected boolean performButtonMove() throws IOException {
@@ -353,7 +519,7 @@ public class RemoteRobot {
 		}
 
 		String jsonCommand = "{\"CMD\":\"move\"}";
-		String jsonResponse = sendJsonCommand(jsonCommand);
+		String jsonResponse = sendJsonCommand("move", jsonCommand);
 
 		if (jsonResponse != null && jsonResponse.contains("\"CMD\":\"moved\"")) {
 			JSONObject moveResponse = new JSONObject(jsonResponse);
@@ -428,7 +594,7 @@ public class RemoteRobot {
 	public void getPos() throws IOException {
 
 		String jsonCommand = "{\"CMD\":\"getpos\"}";
-		String jsonResponse = sendJsonCommand(jsonCommand);
+		String jsonResponse = sendJsonCommand("getpos", jsonCommand);
 
 		if (jsonResponse != null && jsonResponse.contains("\"CMD\":\"pos\"")) {
 
@@ -467,18 +633,20 @@ public class RemoteRobot {
 
 	protected void performRotateRight() throws IOException {
 		String jsonCommand = "{\"CMD\":\"rotate\",\"ROTATION\":\"RIGHT\"}";
-		String jsonResponse = sendJsonCommand(jsonCommand);
+		String jsonResponse = sendJsonCommand("rotate", jsonCommand);
 
 		if (jsonResponse != null && jsonResponse.contains("\"CMD\":\"rotated\"")) {
+			explorationStatistics.recordRotation();
 			updateDirection(jsonResponse);
 		}
 	}
 
 	protected void performRotateLeft() throws IOException {
 		String jsonCommand = "{\"CMD\":\"rotate\",\"ROTATION\":\"LEFT\"}";
-		String jsonResponse = sendJsonCommand(jsonCommand);
+		String jsonResponse = sendJsonCommand("rotate", jsonCommand);
 
 		if (jsonResponse != null && jsonResponse.contains("\"CMD\":\"rotated\"")) {
+			explorationStatistics.recordRotation();
 			updateDirection(jsonResponse);
 		}
 	}
@@ -492,6 +660,10 @@ public class RemoteRobot {
 		String groundStationHost = "localhost";
 		int groundStationPort = 9000;
 		int totalRobots = 5;
+		FleetLandingPlanner fleetLandingPlanner = null;
+		if (args.length > 0 && args[0].equalsIgnoreCase("fleet")) {
+			fleetLandingPlanner = new FleetLandingPlanner(totalRobots);
+		}
 
 		for (int i = 1; i <= totalRobots; i++) {
 			try {
@@ -499,7 +671,8 @@ public class RemoteRobot {
 
 				CountDownLatch latch = new CountDownLatch(1);
 
-				Thread robotThread = new Thread(new RobotListener(groundStationHost, groundStationPort, latch));
+				Thread robotThread = new Thread(new RobotListener(groundStationHost, groundStationPort, latch,
+						fleetLandingPlanner));
 
 				robotThread.start();
 
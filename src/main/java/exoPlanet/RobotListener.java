@@ -5,6 +5,8 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 import org.json.JSONObject;
@@ -12,13 +14,23 @@ import org.json.JSONObject;
 public class RobotListener extends RemoteRobot implements Runnable {
 
 	private final CountDownLatch latch;
+	private final FleetLandingPlanner fleetLandingPlanner;
+
+	private boolean exploring;
+	private final List<String> deferredCommands = new ArrayList<>();
 
 	public RobotListener(String groundStationHost, int groundStationPort, CountDownLatch latch) throws IOException {
+		this(groundStationHost, groundStationPort, latch, null);
+	}
+
+	public RobotListener(String groundStationHost, int groundStationPort, CountDownLatch latch,
+			FleetLandingPlanner fleetLandingPlanner) throws IOException {
         super(null, "localhost", 8150); // Name will be assigned later
         this.groundStationSocket = new Socket(groundStationHost, groundStationPort);
         this.groundStationReader = new BufferedReader(new InputStreamReader(groundStationSocket.getInputStream()));
         this.groundStationWriter = new PrintWriter(groundStationSocket.getOutputStream(), true);
         this.latch = latch;
+        this.fleetLandingPlanner = fleetLandingPlanner;
     }
 	
 
@@ -58,6 +70,11 @@ public class RobotListener extends RemoteRobot implements Runnable {
 			
             latch.countDown();
 
+            // Im Flottenmodus landet jeder Roboter in seinem eigenen Thread, also alle gleichzeitig
+            if (fleetLandingPlanner != null) {
+            	landWithFleetPlannerOrWaitForManualLanding();
+            }
+
             listenForGroundStationCommands();
 
 		} catch (IOException e) {
@@ -66,6 +83,24 @@ public class RobotListener extends RemoteRobot implements Runnable {
 	}
 
 	
+	private void landWithFleetPlannerOrWaitForManualLanding() {
+		boolean landed;
+		try {
+			landed = landWithFleetPlanner(fleetLandingPlanner);
+		} catch (IOException e) {
+			System.err.println("Fleet landing failed: " + e.getMessage());
+			landed = false;
+		}
+
+		if (!landed) {
+			JSONObject landingFailed = new JSONObject();
+			landingFailed.put("CMD", "landfailed");
+			landingFailed.put("NAME", robotName);
+			sendToGroundStation(landingFailed.toString());
+			System.out.println("Waiting for manual land command");
+		}
+	}
+
 	public void listenForGroundStationCommands() {
 		
 			try {
@@ -78,12 +113,56 @@ public class RobotListener extends RemoteRobot implements Runnable {
 				System.out.println("Error in ground station communication: " + e.getMessage());
 			}
 		};		
+
+	@Override
+	protected void serviceGroundStationCommands() {
+		try {
+			while (groundStationReader.ready()) {
+				String command = groundStationReader.readLine();
+				if (command == null) {
+					return;
+				}
+				System.out.println("Command from ground station during exploration: " + command);
+				processGroundStationCommand(command);
+			}
+		} catch (IOException e) {
+			System.out.println("Error in ground station communication: " + e.getMessage());
+		}
+	}
+
+	// Befehle, die den Roboter nicht bewegen, dürfen die laufende Erkundung unterbrechen
+	private boolean isAllowedDuringExploration(String cmdType) {
+		switch (cmdType) {
+		case "stats":
+		case "update":
+		case "nearestunexplored":
+		case "nearestground":
+		case "temperature":
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	private void runDeferredCommands() {
+		List<String> commands = new ArrayList<>(deferredCommands);
+		deferredCommands.clear();
+		for (String command : commands) {
+			processGroundStationCommand(command);
+		}
+	}
 	
 	private void processGroundStationCommand(String command) {
 		try {
 			JSONObject jsonCommand = new JSONObject(command);
 			String cmdType = jsonCommand.getString("CMD").toLowerCase();
 
+			if (exploring && !isAllowedDuringExploration(cmdType)) {
+				System.out.println("Deferring " + cmdType + " command until exploration has finished");
+				deferredCommands.add(command);
+				return;
+			}
+
 			switch (cmdType) {
 			case "land":
 				String[] parts = jsonCommand.getString("MESSAGE").split("\\|");
@@ -116,7 +195,13 @@ public class RobotListener extends RemoteRobot implements Runnable {
 
 			case "explore":
 				System.out.println("Executing explore command");
-				explorePlanet();
+				exploring = true;
+				try {
+					explorePlanet();
+				} finally {
+					exploring = false;
+					runDeferredCommands();
+				}
 				break;
 				
 			case "update":
@@ -128,6 +213,31 @@ public class RobotListener extends RemoteRobot implements Runnable {
 				updateOtherRobotPosition(name, posX, posY);
 				break;
 
+			// Wird auch während explorePlanet beantwortet; zusätzlich sendet explorePlanet
+			// den Zwischenstand alle STATISTICS_REPORT_INTERVAL Züge von sich aus
+			case "stats":
+				System.out.println("Executing stats command");
+				sendStatisticsReport();
+				break;
+
+			case "nearestunexplored":
+				System.out.println("Executing nearest unexplored query");
+				answerNearestUnexploredQuery();
+				break;
+
+			case "nearestground":
+				String groundType = jsonCommand.getString("MESSAGE").split("\\|")[1].toUpperCase();
+				System.out.println("Executing nearest ground query");
+				answerNearestGroundQuery(groundType);
+				break;
+
+			case "temperature":
+				String[] areaParts = jsonCommand.getString("MESSAGE").split("\\|");
+				System.out.println("Executing temperature query");
+				answerTemperatureQuery(Integer.parseInt(areaParts[1]), Integer.parseInt(areaParts[2]),
+						Integer.parseInt(areaParts[3]), Integer.parseInt(areaParts[4]));
+				break;
+
 			case "disconnect":
 				System.out.println("Executing disconnect command");
 				disconnectFromPlanet();
@@ -0,0 +1,32 @@
+package exoPlanet;
+
+public class TemperatureSummary {
+	private int measuredFields;
+	private double min;
+	private double max;
+	private double mean;
+
+	public TemperatureSummary(int measuredFields, double min, double max, double mean) {
+		super();
+		this.measuredFields = measuredFields;
+		this.min = min;
+		this.max = max;
+		this.mean = mean;
+	}
+
+	public int getMeasuredFields() {
+		return measuredFields;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public double getMean() {
+		return mean;
+	}
+}
@@ -0,0 +1,252 @@
+package exoPlanet;
+
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Anzahl und Mittelwert der Temperaturen kommen aus Summed-Area-Tables: Abfragen
+// in O(1), nach neuen Messwerten wird bei der nächsten Abfrage einmal in O(W*H)
+// neu aufgebaut. Minimum und Maximum kommen aus zweidimensionalen Segmentbäumen,
+// die record direkt in O(log W * log H) aktualisiert; Abfragen kosten ebenfalls
+// O(log W * log H). Eine Sparse Table wäre bei Abfragen O(1), braucht aber
+// O(W*H * log W * log H) Speicher und müsste bei jedem Messwert neu gebaut werden.
+// Wie ExplorationStatistics nur vom Thread des Roboters benutzt, daher ohne Sperren.
+public class TerrainMap {
+
+	private static final byte NO_GROUND = -1;
+
+	private final int width;
+	private final int height;
+
+	// Felder zeilenweise abgelegt: index = y * width + x
+	private final boolean[] explored;
+	private final byte[] groundCodes;
+	private final boolean[] dangerous;
+	private final boolean[] measuredTemperature;
+	private final double[] temperatures;
+	private final List<String> groundTypeNames = new ArrayList<>();
+
+	private boolean temperatureSumsDirty = true;
+	private final double[] temperatureSums;
+	private final int[] temperatureCounts;
+
+	// Blätter liegen bei (x + width, y + height), Zeilenlänge 2 * height
+	private final double[] minTree;
+	private final double[] maxTree;
+
+	public TerrainMap(int width, int height) {
+		this.width = width;
+		this.height = height;
+		explored = new boolean[width * height];
+		groundCodes = new byte[width * height];
+		dangerous = new boolean[width * height];
+		measuredTemperature = new boolean[width * height];
+		temperatures = new double[width * height];
+		Arrays.fill(groundCodes, NO_GROUND);
+
+		temperatureSums = new double[(width + 1) * (height + 1)];
+		temperatureCounts = new int[(width + 1) * (height + 1)];
+
+		minTree = new double[4 * width * height];
+		maxTree = new double[4 * width * height];
+		Arrays.fill(minTree, Double.POSITIVE_INFINITY);
+		Arrays.fill(maxTree, Double.NEGATIVE_INFINITY);
+	}
+
+	public void markExplored(int x, int y) {
+		explored[y * width + x] = true;
+	}
+
+	public void recordGround(int x, int y, String groundType, boolean isDangerous) {
+		int index = y * width + x;
+		explored[index] = true;
+		groundCodes[index] = groundCode(groundType);
+		dangerous[index] = isDangerous;
+	}
+
+	public void recordTemperature(int x, int y, double temperature) {
+		int index = y * width + x;
+		explored[index] = true;
+		measuredTemperature[index] = true;
+		temperatures[index] = temperature;
+		temperatureSumsDirty = true;
+		updateTrees(x, y, temperature);
+	}
+
+	public boolean isExplored(int x, int y) {
+		return explored[y * width + x];
+	}
+
+	public String getGroundType(int x, int y) {
+		byte code = groundCodes[y * width + x];
+		return code == NO_GROUND ? null : groundTypeNames.get(code);
+	}
+
+	public Point findNearestUnexplored(int startX, int startY) {
+		return findNearest(startX, startY, NO_GROUND, true);
+	}
+
+	public Point findNearestSafeGround(int startX, int startY, String groundType) {
+		int code = groundTypeNames.indexOf(groundType);
+		if (code < 0) {
+			return null;
+		}
+		return findNearest(startX, startY, (byte) code, false);
+	}
+
+	// Breitensuche über alle nicht gefährlichen Felder, unbekannte Felder gelten als begehbar
+	private Point findNearest(int startX, int startY, byte wantedCode, boolean wantUnexplored) {
+		if (startX < 0 || startX >= width || startY < 0 || startY >= height) {
+			return null;
+		}
+		int[] queue = new int[width * height];
+		boolean[] queued = new boolean[width * height];
+		int head = 0;
+		int tail = 0;
+		queue[tail++] = startY * width + startX;
+		queued[startY * width + startX] = true;
+
+		while (head < tail) {
+			int index = queue[head++];
+			if (dangerous[index]) {
+				continue;
+			}
+			if (wantUnexplored ? !explored[index] : groundCodes[index] == wantedCode) {
+				return new Point(index % width, index / width);
+			}
+			int x = index % width;
+			int y = index / width;
+			// Norden, Osten, Süden, Westen
+			if (y > 0 && !queued[index - width]) {
+				queued[index - width] = true;
+				queue[tail++] = index - width;
+			}
+			if (x < width - 1 && !queued[index + 1]) {
+				queued[index + 1] = true;
+				queue[tail++] = index + 1;
+			}
+			if (y < height - 1 && !queued[index + width]) {
+				queued[index + width] = true;
+				queue[tail++] = index + width;
+			}
+			if (x > 0 && !queued[index - 1]) {
+				queued[index - 1] = true;
+				queue[tail++] = index - 1;
+			}
+		}
+		return null;
+	}
+
+	public TemperatureSummary summarizeTemperature(int x1, int y1, int x2, int y2) {
+		int minX = Math.max(0, Math.min(x1, x2));
+		int maxX = Math.min(width - 1, Math.max(x1, x2));
+		int minY = Math.max(0, Math.min(y1, y2));
+		int maxY = Math.min(height - 1, Math.max(y1, y2));
+		if (minX > maxX || minY > maxY) {
+			return new TemperatureSummary(0, Double.NaN, Double.NaN, Double.NaN);
+		}
+		if (temperatureSumsDirty) {
+			rebuildTemperatureSums();
+		}
+
+		int count = rectangleSum(temperatureCounts, minX, minY, maxX, maxY);
+		if (count == 0) {
+			return new TemperatureSummary(0, Double.NaN, Double.NaN, Double.NaN);
+		}
+		double sum = rectangleSum(temperatureSums, minX, minY, maxX, maxY);
+		return new TemperatureSummary(count, queryTree(minTree, true, minX, minY, maxX, maxY),
+				queryTree(maxTree, false, minX, minY, maxX, maxY), sum / count);
+	}
+
+	private void updateTrees(int x, int y, double temperature) {
+		int rowLength = 2 * height;
+		for (int i = x + width; i >= 1; i >>= 1) {
+			int rowStart = i * rowLength;
+			for (int j = y + height; j >= 1; j >>= 1) {
+				if (i >= width && j >= height) {
+					minTree[rowStart + j] = temperature;
+					maxTree[rowStart + j] = temperature;
+				} else if (i >= width) {
+					// Blattzeile: die beiden Kinder in y-Richtung zusammenfassen
+					minTree[rowStart + j] = Math.min(minTree[rowStart + 2 * j], minTree[rowStart + 2 * j + 1]);
+					maxTree[rowStart + j] = Math.max(maxTree[rowStart + 2 * j], maxTree[rowStart + 2 * j + 1]);
+				} else {
+					// Innere Zeile: die beiden Kindzeilen in x-Richtung zusammenfassen
+					int leftChild = 2 * i * rowLength + j;
+					int rightChild = (2 * i + 1) * rowLength + j;
+					minTree[rowStart + j] = Math.min(minTree[leftChild], minTree[rightChild]);
+					maxTree[rowStart + j] = Math.max(maxTree[leftChild], maxTree[rightChild]);
+				}
+			}
+		}
+	}
+
+	private double queryTree(double[] tree, boolean min, int minX, int minY, int maxX, int maxY) {
+		double result = min ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+		for (int left = minX + width, right = maxX + width + 1; left < right; left >>= 1, right >>= 1) {
+			if ((left & 1) == 1) {
+				result = combine(result, queryTreeRow(tree, min, left++, minY, maxY), min);
+			}
+			if ((right & 1) == 1) {
+				result = combine(result, queryTreeRow(tree, min, --right, minY, maxY), min);
+			}
+		}
+		return result;
+	}
+
+	private double queryTreeRow(double[] tree, boolean min, int row, int minY, int maxY) {
+		int rowStart = row * 2 * height;
+		double result = min ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+		for (int top = minY + height, bottom = maxY + height + 1; top < bottom; top >>= 1, bottom >>= 1) {
+			if ((top & 1) == 1) {
+				result = combine(result, tree[rowStart + top++], min);
+			}
+			if ((bottom & 1) == 1) {
+				result = combine(result, tree[rowStart + --bottom], min);
+			}
+		}
+		return result;
+	}
+
+	private double combine(double a, double b, boolean min) {
+		return min ? Math.min(a, b) : Math.max(a, b);
+	}
+
+	private void rebuildTemperatureSums() {
+		int stride = width + 1;
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				int index = y * width + x;
+				boolean measured = measuredTemperature[index];
+				int sat = (y + 1) * stride + x + 1;
+				temperatureSums[sat] = (measured ? temperatures[index] : 0.0) + temperatureSums[sat - 1]
+						+ temperatureSums[sat - stride] - temperatureSums[sat - stride - 1];
+				temperatureCounts[sat] = (measured ? 1 : 0) + temperatureCounts[sat - 1]
+						+ temperatureCounts[sat - stride] - temperatureCounts[sat - stride - 1];
+			}
+		}
+		temperatureSumsDirty = false;
+	}
+
+	private double rectangleSum(double[] table, int minX, int minY, int maxX, int maxY) {
+		int stride = width + 1;
+		return table[(maxY + 1) * stride + maxX + 1] - table[minY * stride + maxX + 1]
+				- table[(maxY + 1) * stride + minX] + table[minY * stride + minX];
+	}
+
+	private int rectangleSum(int[] table, int minX, int minY, int maxX, int maxY) {
+		int stride = width + 1;
+		return table[(maxY + 1) * stride + maxX + 1] - table[minY * stride + maxX + 1]
+				- table[(maxY + 1) * stride + minX] + table[minY * stride + minX];
+	}
+
+	private byte groundCode(String groundType) {
+		int code = groundTypeNames.indexOf(groundType);
+		if (code < 0) {
+			groundTypeNames.add(groundType);
+			code = groundTypeNames.size() - 1;
+		}
+		return (byte) code;
+	}
+}
@@ -0,0 +1,109 @@
+package exoPlanet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+public class ExplorationStatisticsTest {
+
+	@Test
+	public void ignoresEventsOutsideOfARun() {
+		ExplorationStatistics statistics = new ExplorationStatistics();
+		statistics.recordCommand("move");
+		statistics.recordMove(false);
+
+		statistics.start(1);
+		statistics.recordCommand("scan");
+		statistics.finish();
+		statistics.recordCommand("scan");
+		statistics.recordMove(false);
+
+		assertFalse(statistics.isRunning());
+		assertEquals(0, statistics.getCommandCount("move"));
+		assertEquals(1, statistics.getCommandCount("scan"));
+		assertEquals(0, statistics.getMoves());
+	}
+
+	@Test
+	public void computesRatios() {
+		ExplorationStatistics statistics = new ExplorationStatistics();
+		statistics.start(1);
+		statistics.recordRotation();
+		statistics.recordRotation();
+		statistics.recordRotation();
+		statistics.recordMove(false);
+		statistics.recordMove(false);
+		statistics.recordMove(false);
+		statistics.recordMove(true);
+		statistics.recordScan(false);
+		statistics.recordScan(true);
+		statistics.finish();
+
+		assertEquals(0.75, statistics.getRotationsPerMove(), 1e-9);
+		assertEquals(0.25, statistics.getBacktrackingRatio(), 1e-9);
+		assertEquals(1, statistics.getRedundantScans());
+		assertEquals(2, statistics.getKnownFields());
+	}
+
+	@Test
+	public void startResetsPreviousRun() {
+		ExplorationStatistics statistics = new ExplorationStatistics();
+		statistics.start(1);
+		statistics.recordMove(true);
+		statistics.recordBlocked();
+		statistics.finish();
+
+		statistics.start(5);
+		assertTrue(statistics.isRunning());
+		assertEquals(0, statistics.getMoves());
+		assertEquals(0, statistics.getBlockedEvents());
+		assertEquals(5, statistics.getKnownFields());
+	}
+
+	@Test
+	public void countsBlockedEventsAndFieldsGivenUp() {
+		ExplorationStatistics statistics = new ExplorationStatistics();
+		statistics.start(1);
+		statistics.recordBlocked();
+		statistics.recordBlocked();
+		statistics.recordFieldGivenUpWhileBlocked();
+		statistics.finish();
+
+		assertEquals(2, statistics.getBlockedEvents());
+		assertEquals(1, statistics.getFieldsGivenUpWhileBlocked());
+	}
+
+	@Test
+	public void reportsBeforeFirstRun() {
+		ExplorationStatistics statistics = new ExplorationStatistics();
+
+		JSONObject report = statistics.toJson();
+		assertFalse(report.getBoolean("RUNNING"));
+		assertEquals(0, report.getInt("MOVES"));
+		assertEquals(0, report.getJSONArray("DISCOVERY_TIMELINE").length());
+		assertTrue(statistics.getDiscoveryTimeline().isEmpty());
+	}
+
+	@Test
+	public void timelineStaysBounded() {
+		ExplorationStatistics statistics = new ExplorationStatistics();
+		statistics.start(1);
+		for (int i = 0; i < 10000; i++) {
+			statistics.recordScan(false);
+		}
+		statistics.finish();
+
+		List<long[]> timeline = statistics.getDiscoveryTimeline();
+		assertTrue(timeline.size() <= ExplorationStatistics.MAX_TIMELINE_SAMPLES + 1);
+		assertEquals(1, timeline.get(0)[1]);
+		assertEquals(10001, timeline.get(timeline.size() - 1)[1]);
+		for (int i = 1; i < timeline.size(); i++) {
+			assertTrue(timeline.get(i)[1] > timeline.get(i - 1)[1]);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+package exoPlanet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+public class FleetLandingPlannerTest {
+
+	@Test
+	public void spreadsRobotsOverThePlanet() {
+		List<LandingSite> sites = FleetLandingPlanner.computeLandingSites(20, 20, 4);
+
+		assertEquals(4, sites.size());
+		assertSite(sites.get(0), 5, 5, Direction.WEST);
+		assertSite(sites.get(1), 15, 5, Direction.EAST);
+		assertSite(sites.get(2), 5, 15, Direction.SOUTH);
+		assertSite(sites.get(3), 15, 15, Direction.EAST);
+	}
+
+	@Test
+	public void placesEveryRobotInsideThePlanetOnDistinctFields() {
+		int[][] configurations = { { 10, 6, 5 }, { 50, 10, 3 }, { 1, 1, 1 }, { 7, 31, 9 }, { 100, 100, 17 } };
+		for (int[] configuration : configurations) {
+			int width = configuration[0];
+			int height = configuration[1];
+			int robots = configuration[2];
+			List<LandingSite> sites = FleetLandingPlanner.computeLandingSites(width, height, robots);
+
+			assertEquals(robots, sites.size());
+			Set<Integer> fields = new HashSet<>();
+			for (LandingSite site : sites) {
+				assertTrue(site.getX() >= 0 && site.getX() < width);
+				assertTrue(site.getY() >= 0 && site.getY() < height);
+				fields.add(site.getY() * width + site.getX());
+			}
+			assertEquals(robots, fields.size());
+		}
+	}
+
+	@Test
+	public void facesAwayFromTheCenter() {
+		assertEquals(Direction.NORTH, FleetLandingPlanner.directionAwayFromCenter(5, 5, 11, 11));
+		assertEquals(Direction.NORTH, FleetLandingPlanner.directionAwayFromCenter(5, 1, 11, 11));
+		assertEquals(Direction.SOUTH, FleetLandingPlanner.directionAwayFromCenter(5, 9, 11, 11));
+		assertEquals(Direction.EAST, FleetLandingPlanner.directionAwayFromCenter(9, 6, 11, 11));
+		assertEquals(Direction.WEST, FleetLandingPlanner.directionAwayFromCenter(1, 4, 11, 11));
+	}
+
+	@Test
+	public void claimsEachSiteOnce() {
+		FleetLandingPlanner planner = new FleetLandingPlanner(3);
+		Set<Integer> fields = new HashSet<>();
+		for (int i = 0; i < 3; i++) {
+			LandingSite site = planner.claimLandingSite(30, 10);
+			fields.add(site.getY() * 30 + site.getX());
+		}
+		assertEquals(3, fields.size());
+		assertNull(new FleetLandingPlanner(0).claimLandingSite(30, 10));
+	}
+
+	@Test
+	public void triesNearbyFieldsRingByRing() {
+		LandingSite site = new LandingSite(2, 2, Direction.EAST);
+		List<LandingSite> candidates = FleetLandingPlanner.nearbyLandingSites(site, 5, 5, 25);
+
+		assertEquals(25, candidates.size());
+		assertSite(candidates.get(0), 2, 2, Direction.EAST);
+		for (int i = 1; i < 9; i++) {
+			int distance = Math.max(Math.abs(candidates.get(i).getX() - 2), Math.abs(candidates.get(i).getY() - 2));
+			assertEquals(1, distance);
+		}
+	}
+
+	@Test
+	public void skipsFieldsOutsideThePlanetAndStopsAtMaxAttempts() {
+		LandingSite corner = new LandingSite(0, 0, Direction.NORTH);
+
+		List<LandingSite> candidates = FleetLandingPlanner.nearbyLandingSites(corner, 3, 3, 100);
+		assertEquals(9, candidates.size());
+		for (LandingSite candidate : candidates) {
+			assertTrue(candidate.getX() >= 0 && candidate.getX() < 3);
+			assertTrue(candidate.getY() >= 0 && candidate.getY() < 3);
+		}
+		assertEquals(4, FleetLandingPlanner.nearbyLandingSites(corner, 3, 3, 4).size());
+	}
+
+	private void assertSite(LandingSite site, int x, int y, Direction direction) {
+		assertEquals(x, site.getX());
+		assertEquals(y, site.getY());
+		assertEquals(direction, site.getDirection());
+	}
+}
@@ -0,0 +1,137 @@
+package exoPlanet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Point;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TerrainMapTest {
+
+	@Test
+	public void temperatureSummaryMatchesBruteForce() {
+		Random random = new Random(42);
+		for (int map = 0; map < 300; map++) {
+			int width = 1 + random.nextInt(17);
+			int height = 1 + random.nextInt(13);
+			TerrainMap terrainMap = new TerrainMap(width, height);
+			Double[][] temperatures = new Double[width][height];
+
+			for (int step = 0; step < 2 * width * height; step++) {
+				if (random.nextBoolean()) {
+					int x = random.nextInt(width);
+					int y = random.nextInt(height);
+					double temperature = random.nextInt(400) / 4.0 - 50;
+					temperatures[x][y] = temperature;
+					terrainMap.recordTemperature(x, y, temperature);
+				} else {
+					int x1 = random.nextInt(width);
+					int y1 = random.nextInt(height);
+					int x2 = random.nextInt(width);
+					int y2 = random.nextInt(height);
+					assertMatchesBruteForce(temperatures, terrainMap, x1, y1, x2, y2);
+				}
+			}
+		}
+	}
+
+	private void assertMatchesBruteForce(Double[][] temperatures, TerrainMap terrainMap, int x1, int y1, int x2,
+			int y2) {
+		int count = 0;
+		double sum = 0;
+		double min = Double.POSITIVE_INFINITY;
+		double max = Double.NEGATIVE_INFINITY;
+		for (int x = Math.min(x1, x2); x <= Math.max(x1, x2); x++) {
+			for (int y = Math.min(y1, y2); y <= Math.max(y1, y2); y++) {
+				if (temperatures[x][y] != null) {
+					count++;
+					sum += temperatures[x][y];
+					min = Math.min(min, temperatures[x][y]);
+					max = Math.max(max, temperatures[x][y]);
+				}
+			}
+		}
+
+		TemperatureSummary summary = terrainMap.summarizeTemperature(x1, y1, x2, y2);
+		assertEquals(count, summary.getMeasuredFields());
+		if (count > 0) {
+			assertEquals(min, summary.getMin(), 0.0);
+			assertEquals(max, summary.getMax(), 0.0);
+			assertEquals(sum / count, summary.getMean(), 1e-9);
+		}
+	}
+
+	@Test
+	public void clampsRectangleToThePlanet() {
+		TerrainMap terrainMap = new TerrainMap(3, 3);
+		terrainMap.recordTemperature(0, 0, 10);
+		terrainMap.recordTemperature(2, 2, 30);
+
+		TemperatureSummary summary = terrainMap.summarizeTemperature(-5, -5, 10, 10);
+		assertEquals(2, summary.getMeasuredFields());
+		assertEquals(20, summary.getMean(), 1e-9);
+		assertEquals(0, terrainMap.summarizeTemperature(5, 5, 8, 8).getMeasuredFields());
+	}
+
+	@Test
+	public void fieldsWithoutTemperatureDoNotCount() {
+		TerrainMap terrainMap = new TerrainMap(2, 1);
+		terrainMap.recordGround(0, 0, "SAND", false);
+		terrainMap.recordTemperature(1, 0, 5);
+
+		TemperatureSummary summary = terrainMap.summarizeTemperature(0, 0, 1, 0);
+		assertEquals(1, summary.getMeasuredFields());
+		assertEquals(5, summary.getMin(), 0.0);
+		assertTrue(terrainMap.isExplored(0, 0));
+	}
+
+	@Test
+	public void handlesLargePlanets() {
+		TerrainMap terrainMap = new TerrainMap(1000, 1000);
+		terrainMap.recordTemperature(999, 999, -3);
+		terrainMap.recordTemperature(0, 500, 7);
+
+		TemperatureSummary summary = terrainMap.summarizeTemperature(0, 0, 999, 999);
+		assertEquals(2, summary.getMeasuredFields());
+		assertEquals(-3, summary.getMin(), 0.0);
+		assertEquals(7, summary.getMax(), 0.0);
+	}
+
+	@Test
+	public void findsNearestUnexploredField() {
+		TerrainMap terrainMap = new TerrainMap(4, 1);
+		terrainMap.recordGround(0, 0, "SAND", false);
+		terrainMap.markExplored(1, 0);
+
+		assertEquals(new Point(2, 0), terrainMap.findNearestUnexplored(0, 0));
+		assertFalse(terrainMap.isExplored(2, 0));
+		assertNull(terrainMap.getGroundType(1, 0));
+	}
+
+	@Test
+	public void searchDoesNotCrossDangerousFields() {
+		TerrainMap terrainMap = new TerrainMap(5, 1);
+		terrainMap.recordGround(0, 0, "SAND", false);
+		terrainMap.recordGround(1, 0, "LAVA", true);
+		terrainMap.recordGround(3, 0, "FELS", false);
+
+		assertNull(terrainMap.findNearestUnexplored(0, 0));
+		assertNull(terrainMap.findNearestSafeGround(0, 0, "FELS"));
+		assertEquals(new Point(3, 0), terrainMap.findNearestSafeGround(4, 0, "FELS"));
+	}
+
+	@Test
+	public void findsNearestGroundByPathLength() {
+		TerrainMap terrainMap = new TerrainMap(3, 3);
+		terrainMap.recordGround(1, 1, "SAND", false);
+		terrainMap.recordGround(2, 2, "FELS", false);
+		terrainMap.recordGround(0, 0, "FELS", false);
+
+		assertEquals(new Point(0, 0), terrainMap.findNearestSafeGround(0, 1, "FELS"));
+		assertNull(terrainMap.findNearestSafeGround(0, 1, "WASSER"));
+	}
+}